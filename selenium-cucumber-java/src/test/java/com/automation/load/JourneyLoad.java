@@ -0,0 +1,258 @@
+package com.automation.load;
+
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import com.automation.support.AppConfig;
+import com.automation.support.DriverFactory;
+import com.automation.support.PageReadiness;
+import com.automation.support.Ref;
+import com.automation.utils.ExcelReader;
+
+/**
+ * Replays the tabs journey on a pool of headless sessions at a fixed arrival rate (open model):
+ * journey i is scheduled at start + i / rate whether or not earlier journeys have finished.
+ *
+ * Coordinated omission: when every session is busy a journey waits in the queue. That wait is
+ * charged to its first step in the corrected recorder (latency measured from the scheduled
+ * start, not the actual start), so a slow app cannot hide its own backlog. The service-time
+ * recorder keeps the uncorrected numbers for comparison. Later steps depend on the previous
+ * step of the same session, so they are measured from the end of that step in both.
+ *
+ * A failed journey still records the time its failing step took, and its total, in both
+ * recorders, and the failure is counted against that step. Journeys still queued or running
+ * when the drain period ends are reported as abandoned, and so are journeys scheduled while
+ * load.maxQueued others already wait for a session, so overload shows up in the report instead
+ * of as an ever-growing queue. scheduled = completed + failed + abandoned.
+ */
+public class JourneyLoad {
+    private static final Logger log = Logger.getLogger(JourneyLoad.class);
+    static final String OPEN_LOGIN = "Open login page";
+    static final String LOGIN = "Login";
+    static final String JOURNEY = "Journey total";
+
+    private final LoadProfile profile;
+    private final String username;
+    private final String password;
+    private final LatencyRecorder corrected = new LatencyRecorder();
+    private final LatencyRecorder serviceTime = new LatencyRecorder();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Map<String, AtomicLong> errorsByStep = new ConcurrentHashMap<>();
+    // Once set, journeys that finish late count as abandoned instead of completed or failed
+    private final Object outcomes = new Object();
+    private boolean abandoning;
+
+    public JourneyLoad(LoadProfile profile) {
+        this.profile = profile;
+        String[] credentials = loadCredentials();
+        this.username = credentials[0];
+        this.password = credentials[1];
+    }
+
+    public LoadReport run() throws InterruptedException {
+        log.info("Starting load run against " + AppConfig.appUrl() + ": " + profile);
+        BlockingQueue<Session> pool = new ArrayBlockingQueue<>(profile.sessions);
+        List<WebDriver> drivers = new ArrayList<>();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(profile.sessions, profile.sessions, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(profile.maxQueued));
+        long scheduled = 0;
+        long rejected = 0;
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < profile.sessions; i++) {
+                WebDriver driver = DriverFactory.chrome(true);
+                drivers.add(driver);
+                pool.add(new Session(driver));
+            }
+
+            start = System.nanoTime();
+            long end = start + profile.duration.toNanos();
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * profile.intervalNanos();
+                if (intendedStart >= end) break;
+                sleepUntil(intendedStart);
+                scheduled++;
+                try {
+                    workers.execute(() -> {
+                        // One worker per session, so a session is always free here
+                        Session session = pool.poll();
+                        try {
+                            runJourney(session, intendedStart);
+                        } finally {
+                            pool.add(session);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    if (rejected++ == 0) {
+                        log.warn(profile.maxQueued + " journeys already waiting for a session, abandoning new ones until the queue drains");
+                    }
+                }
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(profile.drain.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Journeys still running after " + profile.drain.getSeconds() + "s drain, abandoning them");
+            }
+        } finally {
+            synchronized (outcomes) {
+                abandoning = true;
+            }
+            workers.shutdownNow();
+            for (WebDriver driver : drivers) {
+                try { DriverFactory.quit(driver); } catch (Exception ignored) { }
+            }
+        }
+        double elapsedSec = (System.nanoTime() - start) / 1e9;
+        long abandoned = scheduled - completed.get() - failed.get();
+        Map<String, Long> errors = new LinkedHashMap<>();
+        errorsByStep.forEach((step, count) -> errors.put(step, count.get()));
+        return new LoadReport(profile, scheduled, completed.get(), failed.get(), abandoned, rejected, elapsedSec,
+            corrected.snapshot(), serviceTime.snapshot(), errors);
+    }
+
+    private void runJourney(Session session, long intendedStart) {
+        long actualStart = System.nanoTime();
+        Ref ref = session.ref;
+        String step = OPEN_LOGIN;
+        long correctedFrom = intendedStart;
+        long serviceFrom = actualStart;
+        long end;
+        try {
+            // Start every journey logged out, like a fresh scenario
+            session.driver.manage().deleteAllCookies();
+            session.driver.get(AppConfig.appUrl());
+            long previous = record(step, correctedFrom, serviceFrom);
+            correctedFrom = serviceFrom = previous;
+
+            step = LOGIN;
+            ref.login.login(username, password);
+            if (!ref.login.isDashboardDisplayed()) {
+                throw new IllegalStateException("Dashboard not displayed after login");
+            }
+            previous = record(step, previous, previous);
+            correctedFrom = serviceFrom = previous;
+
+            for (TabsJourney.Step tab : TabsJourney.TABS) {
+                step = tab.name;
+                tab.open.accept(ref);
+                awaitTitle(ref, tab);
+                previous = record(step, previous, previous);
+                correctedFrom = serviceFrom = previous;
+            }
+            if (!countOutcome(completed)) return;
+            end = previous;
+        } catch (Exception e) {
+            // Interrupted after the drain period: counted as abandoned, not as an app failure
+            if (!countOutcome(failed)) return;
+            // A slow failure is still latency the user saw; leaving it out would flatter the app
+            end = record(step, correctedFrom, serviceFrom);
+            errorsByStep.computeIfAbsent(step, s -> new AtomicLong()).incrementAndGet();
+            log.warn("Journey failed at step '" + step + "': " + e.getMessage());
+        }
+        corrected.record(JOURNEY, end - intendedStart);
+        serviceTime.record(JOURNEY, end - actualStart);
+    }
+
+    /** Counts the journey's outcome unless the run has already given up on it. */
+    private boolean countOutcome(AtomicLong outcome) {
+        synchronized (outcomes) {
+            if (abandoning) return false;
+            outcome.incrementAndGet();
+            return true;
+        }
+    }
+
+    /** Records the step that just finished and returns its end time. */
+    private long record(String step, long correctedFrom, long serviceFrom) {
+        long now = System.nanoTime();
+        corrected.record(step, now - correctedFrom);
+        serviceTime.record(step, now - serviceFrom);
+        return now;
+    }
+
+    private void awaitTitle(Ref ref, TabsJourney.Step tab) {
+        long deadline = System.nanoTime() + profile.stepTimeout.toNanos();
+        while (true) {
+            boolean all = true;
+            for (String token : tab.expectedTitle.split("/")) {
+                if (!tab.header.apply(ref).test(token.trim())) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) return;
+            if (System.nanoTime() >= deadline) {
+                throw new IllegalStateException("Title '" + tab.expectedTitle + "' not shown for " + tab.name);
+            }
+            LockSupport.parkNanos(PageReadiness.pollInterval().toNanos());
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /** Username and password from -Dload.username/-Dload.password, otherwise from the test data workbook. */
+    private static String[] loadCredentials() {
+        String user = System.getProperty("load.username");
+        String pass = System.getProperty("load.password");
+        if (user != null && pass != null) return new String[] {user, pass};
+
+        String resourcePath = "testdata/TestData.xlsx";
+        URL url = Thread.currentThread().getContextClassLoader().getResource(resourcePath);
+        if (url == null) {
+            throw new IllegalStateException("Cannot find Excel resource: " + resourcePath);
+        }
+        ExcelReader reader = null;
+        try {
+            reader = new ExcelReader(Paths.get(url.toURI()).toFile().getAbsolutePath());
+            String sheet = System.getProperty("excel.sheet", "Sheet1");
+            if (reader.getWorkbook().getSheet(sheet) == null) {
+                sheet = reader.getWorkbook().getSheetAt(0).getSheetName();
+            }
+            Map<String, String> row = reader.getRowData(sheet, Integer.parseInt(System.getProperty("excel.row", "1")));
+            return new String[] {valueIgnoreCase(row, "Username"), valueIgnoreCase(row, "Password")};
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load credentials from Excel: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try { reader.close(); } catch (Exception ignored) { }
+            }
+        }
+    }
+
+    private static String valueIgnoreCase(Map<String, String> row, String key) {
+        for (Map.Entry<String, String> e : row.entrySet()) {
+            if (key.equalsIgnoreCase(e.getKey())) return e.getValue();
+        }
+        throw new IllegalArgumentException("Column '" + key + "' not found in test data: " + row.keySet());
+    }
+
+    private static class Session {
+        final WebDriver driver;
+        final Ref ref;
+
+        Session(WebDriver driver) {
+            this.driver = driver;
+            this.ref = new Ref(driver);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.automation.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-step latency samples in microseconds. Samples are kept in full (a growable long[] per
+ * step) so percentiles are exact; a long soak at one journey per second stays in the tens of MB.
+ */
+public class LatencyRecorder {
+    private final Map<String, Samples> steps = new LinkedHashMap<>();
+
+    public synchronized void record(String step, long nanos) {
+        steps.computeIfAbsent(step, s -> new Samples()).add(nanos / 1_000);
+    }
+
+    /** Snapshot of every step in first-recorded order. */
+    public synchronized Map<String, long[]> snapshot() {
+        Map<String, long[]> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Samples> e : steps.entrySet()) {
+            copy.put(e.getKey(), Arrays.copyOf(e.getValue().values, e.getValue().size));
+        }
+        return copy;
+    }
+
+    /**
+     * Value at the given quantile (0..1) of an already sorted array, or 0 when empty: the
+     * smallest sample with at least that fraction of the samples at or below it. Shared with
+     * MetricsPlugin so both report the same p99 for the same samples.
+     */
+    public static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static class Samples {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
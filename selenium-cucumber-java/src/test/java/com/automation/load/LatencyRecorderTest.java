@@ -0,0 +1,63 @@
+package com.automation.load;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void percentileOfEmptyArrayIsZero() {
+        assertEquals(0, LatencyRecorder.percentile(new long[0], 0.99));
+    }
+
+    @Test
+    public void percentileIsNearestRank() {
+        long[] sorted = LongStream.rangeClosed(1, 100).toArray();
+
+        assertEquals(1, LatencyRecorder.percentile(sorted, 0.0));
+        assertEquals(50, LatencyRecorder.percentile(sorted, 0.5));
+        assertEquals(90, LatencyRecorder.percentile(sorted, 0.9));
+        assertEquals(99, LatencyRecorder.percentile(sorted, 0.99));
+        assertEquals(100, LatencyRecorder.percentile(sorted, 0.999));
+        assertEquals(100, LatencyRecorder.percentile(sorted, 1.0));
+    }
+
+    @Test
+    public void percentileOfSingleSampleIsThatSample() {
+        assertEquals(42, LatencyRecorder.percentile(new long[] {42}, 0.5));
+        assertEquals(42, LatencyRecorder.percentile(new long[] {42}, 0.999));
+    }
+
+    @Test
+    public void snapshotKeepsFirstRecordedOrderInMicroseconds() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("Login", 2_000_000);
+        recorder.record("Admin", 5_000);
+        recorder.record("Login", 1_500);
+
+        Map<String, long[]> snapshot = recorder.snapshot();
+
+        assertEquals(Arrays.asList("Login", "Admin"), Arrays.asList(snapshot.keySet().toArray()));
+        assertArrayEquals(new long[] {2_000, 1}, snapshot.get("Login"));
+        assertArrayEquals(new long[] {5}, snapshot.get("Admin"));
+    }
+
+    @Test
+    public void snapshotGrowsPastTheInitialCapacity() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < 5000; i++) {
+            recorder.record("Step", i * 1_000L);
+        }
+
+        long[] samples = recorder.snapshot().get("Step");
+
+        assertEquals(5000, samples.length);
+        assertEquals(4999, samples[4999]);
+    }
+}
@@ -0,0 +1,61 @@
+package com.automation.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Settings for a load/soak run, read from system properties:
+ *   load.rate          (default 0.2)  - journeys started per second (open model)
+ *   load.durationSec   (default 60)   - how long new journeys are started
+ *   load.sessions      (default 2)    - size of the headless browser pool
+ *   load.drainSec      (default 120)  - how long to wait for journeys still running at the end
+ *   load.maxQueued     (default 10 x sessions) - journeys that may wait for a session; later ones are abandoned
+ *   load.stepTimeoutSec (default 10)  - how long a step may take to show the expected title
+ *   load.report        (default target/load-report) - report path prefix (.txt and .csv)
+ */
+public class LoadProfile {
+    final double rate;
+    final Duration duration;
+    final int sessions;
+    final Duration drain;
+    final int maxQueued;
+    final Duration stepTimeout;
+    final Path report;
+
+    LoadProfile(double rate, Duration duration, int sessions, Duration drain, int maxQueued, Duration stepTimeout,
+                Path report) {
+        if (rate <= 0) throw new IllegalArgumentException("load.rate must be positive: " + rate);
+        if (sessions <= 0) throw new IllegalArgumentException("load.sessions must be positive: " + sessions);
+        if (maxQueued <= 0) throw new IllegalArgumentException("load.maxQueued must be positive: " + maxQueued);
+        this.rate = rate;
+        this.duration = duration;
+        this.sessions = sessions;
+        this.drain = drain;
+        this.maxQueued = maxQueued;
+        this.stepTimeout = stepTimeout;
+        this.report = report;
+    }
+
+    public static LoadProfile fromSystemProperties() {
+        int sessions = Integer.getInteger("load.sessions", 2);
+        return new LoadProfile(
+            Double.parseDouble(System.getProperty("load.rate", "0.2")),
+            Duration.ofSeconds(Long.getLong("load.durationSec", 60)),
+            sessions,
+            Duration.ofSeconds(Long.getLong("load.drainSec", 120)),
+            Integer.getInteger("load.maxQueued", 10 * sessions),
+            Duration.ofSeconds(Long.getLong("load.stepTimeoutSec", 10)),
+            Paths.get(System.getProperty("load.report", "target/load-report")));
+    }
+
+    /** Nanoseconds between scheduled journey starts. */
+    long intervalNanos() {
+        return (long) (1_000_000_000L / rate);
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, duration=" + duration.getSeconds() + "s, sessions=" + sessions + ", maxQueued=" + maxQueued;
+    }
+}
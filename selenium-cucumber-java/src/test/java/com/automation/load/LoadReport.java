@@ -0,0 +1,117 @@
+package com.automation.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency summary of a load run. Written as a readable table (.txt) and as
+ * CSV (.csv) so runs can be compared between releases.
+ */
+public class LoadReport {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final LoadProfile profile;
+    private final long scheduled;
+    private final long completed;
+    private final long failed;
+    private final long abandoned;
+    private final long rejected;
+    private final double elapsedSec;
+    private final Map<String, long[]> corrected;
+    private final Map<String, long[]> serviceTime;
+    private final Map<String, Long> errors;
+
+    LoadReport(LoadProfile profile, long scheduled, long completed, long failed, long abandoned, long rejected,
+               double elapsedSec, Map<String, long[]> corrected, Map<String, long[]> serviceTime, Map<String, Long> errors) {
+        this.profile = profile;
+        this.scheduled = scheduled;
+        this.completed = completed;
+        this.failed = failed;
+        this.abandoned = abandoned;
+        this.rejected = rejected;
+        this.elapsedSec = elapsedSec;
+        this.corrected = corrected;
+        this.serviceTime = serviceTime;
+        this.errors = errors;
+        corrected.values().forEach(Arrays::sort);
+        serviceTime.values().forEach(Arrays::sort);
+    }
+
+    public long completed() {
+        return completed;
+    }
+
+    public long failed() {
+        return failed;
+    }
+
+    public long abandoned() {
+        return abandoned;
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Load run: %s%n", profile));
+        sb.append(String.format("Journeys: %d scheduled, %d completed, %d failed, %d abandoned in %.1fs%n",
+            scheduled, completed, failed, abandoned, elapsedSec));
+        if (rejected > 0) {
+            sb.append(String.format("Overload: %d of the abandoned journeys never started, %d were already waiting for a session%n",
+                rejected, profile.maxQueued));
+        }
+        sb.append(String.format("Throughput: %.3f journeys/s (target %.3f/s)%n", completed / elapsedSec, profile.rate));
+        table(sb, "Latency in ms, corrected for coordinated omission", corrected);
+        table(sb, "Latency in ms, service time only", serviceTime);
+        if (!errors.isEmpty()) {
+            sb.append(String.format("%nFailures by step (their latency is included above)%n"));
+            errors.forEach((step, count) -> sb.append(String.format("%-18s %7d%n", step, count)));
+        }
+        return sb.toString();
+    }
+
+    private static void table(StringBuilder sb, String title, Map<String, long[]> steps) {
+        sb.append(String.format("%n%s%n", title));
+        sb.append(String.format("%-18s %7s %9s %9s %9s %9s %9s%n", "step", "count", "p50", "p90", "p99", "p99.9", "max"));
+        for (Map.Entry<String, long[]> e : steps.entrySet()) {
+            long[] v = e.getValue();
+            sb.append(String.format("%-18s %7d", e.getKey(), v.length));
+            for (double q : QUANTILES) {
+                sb.append(String.format(" %9.1f", LatencyRecorder.percentile(v, q) / 1000.0));
+            }
+            sb.append(String.format(" %9.1f%n", v.length == 0 ? 0 : v[v.length - 1] / 1000.0));
+        }
+    }
+
+    /** Writes <prefix>.txt and <prefix>.csv next to each other. */
+    public void write() throws IOException {
+        Path txt = Paths.get(profile.report + ".txt");
+        Path csv = Paths.get(profile.report + ".csv");
+        if (txt.getParent() != null) Files.createDirectories(txt.getParent());
+        Files.write(txt, summary().getBytes(StandardCharsets.UTF_8));
+
+        List<String> lines = new ArrayList<>();
+        lines.add("kind,step,count,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,errors");
+        csvRows(lines, "corrected", corrected);
+        csvRows(lines, "service", serviceTime);
+        Files.write(csv, lines, StandardCharsets.UTF_8);
+    }
+
+    private void csvRows(List<String> lines, String kind, Map<String, long[]> steps) {
+        for (Map.Entry<String, long[]> e : steps.entrySet()) {
+            long[] v = e.getValue();
+            StringBuilder row = new StringBuilder(kind + ",\"" + e.getKey() + "\"," + v.length);
+            for (double q : QUANTILES) {
+                row.append(',').append(LatencyRecorder.percentile(v, q) / 1000.0);
+            }
+            row.append(',').append(v.length == 0 ? 0 : v[v.length - 1] / 1000.0);
+            row.append(',').append(errors.getOrDefault(e.getKey(), 0L));
+            lines.add(row.toString());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.automation.load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LoadReportTest {
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void summaryReportsEveryOutcomeAndFailingStep() throws IOException {
+        String summary = report(Collections.singletonMap("Login", 2L), 0).summary();
+
+        assertTrue(summary, summary.contains("Journeys: 10 scheduled, 6 completed, 2 failed, 2 abandoned in 20.0s"));
+        assertTrue(summary, summary.contains("Throughput: 0.300 journeys/s (target 0.500/s)"));
+        assertTrue(summary, summary.contains("Latency in ms, corrected for coordinated omission"));
+        assertTrue(summary, summary.contains("Failures by step"));
+        assertFalse(summary, summary.contains("Overload"));
+    }
+
+    @Test
+    public void summaryShowsJourneysRejectedByAFullQueue() throws IOException {
+        String summary = report(Collections.emptyMap(), 2).summary();
+
+        assertTrue(summary, summary.contains("Overload: 2 of the abandoned journeys never started, 4 were already waiting"));
+        assertFalse(summary, summary.contains("Failures by step"));
+    }
+
+    @Test
+    public void writesTextAndCsvWithNearestRankPercentiles() throws IOException {
+        LoadReport report = report(Collections.singletonMap("Login", 2L), 0);
+        report.write();
+
+        Path prefix = tmp.getRoot().toPath().resolve("load-report");
+        String txt = new String(Files.readAllBytes(Path.of(prefix + ".txt")), StandardCharsets.UTF_8);
+        assertEquals(report.summary(), txt);
+
+        List<String> csv = Files.readAllLines(Path.of(prefix + ".csv"), StandardCharsets.UTF_8);
+        assertEquals("kind,step,count,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,errors", csv.get(0));
+        // 1..100 ms recorded out of order; the report sorts before taking percentiles
+        assertEquals("corrected,\"Login\",100,50.0,90.0,99.0,100.0,100.0,2", csv.get(1));
+        assertEquals("corrected,\"Journey total\",1,250.0,250.0,250.0,250.0,250.0,0", csv.get(2));
+        assertEquals("service,\"Login\",100,50.0,90.0,99.0,100.0,100.0,2", csv.get(3));
+        assertEquals(5, csv.size());
+    }
+
+    private LoadReport report(Map<String, Long> errors, long rejected) {
+        LoadProfile profile = new LoadProfile(0.5, Duration.ofSeconds(20), 2, Duration.ofSeconds(5), 4,
+            Duration.ofSeconds(10), tmp.getRoot().toPath().resolve("load-report"));
+        return new LoadReport(profile, 10, 6, 2, 2, rejected, 20.0, latencies(), latencies(), errors);
+    }
+
+    /** Login: 1..100 ms in descending order; Journey total: one 250 ms sample. In microseconds. */
+    private static Map<String, long[]> latencies() {
+        Map<String, long[]> steps = new LinkedHashMap<>();
+        steps.put("Login", LongStream.rangeClosed(1, 100).map(ms -> (101 - ms) * 1000).toArray());
+        steps.put(JourneyLoad.JOURNEY, new long[] {250_000});
+        return steps;
+    }
+}
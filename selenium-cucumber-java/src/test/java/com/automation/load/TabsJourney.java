@@ -0,0 +1,44 @@
+package com.automation.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.automation.support.Ref;
+
+/**
+ * The tabs.feature journey expressed against the page objects: after login, open every module
+ * exposed by Ref in the same order as the feature file and check its title tokens.
+ */
+class TabsJourney {
+
+    static class Step {
+        final String name;
+        final Consumer<Ref> open;
+        final Function<Ref, Predicate<String>> header;
+        final String expectedTitle;
+
+        Step(String name, Consumer<Ref> open, Function<Ref, Predicate<String>> header, String expectedTitle) {
+            this.name = name;
+            this.open = open;
+            this.header = header;
+            this.expectedTitle = expectedTitle;
+        }
+    }
+
+    static final List<Step> TABS = Arrays.asList(
+        new Step("Admin", r -> r.admin.openTab(), r -> r.admin::headerOrBreadcrumbContains, "Admin/User Management"),
+        new Step("PIM", r -> r.pim.openTab(), r -> r.pim::headerOrBreadcrumbContains, "PIM"),
+        new Step("Leave", r -> r.leave.openTab(), r -> r.leave::headerOrBreadcrumbContains, "Leave"),
+        new Step("Time", r -> r.time.openTab(), r -> r.time::headerOrBreadcrumbContains, "Time/Timesheets"),
+        new Step("Recruitment", r -> r.recruitment.openTab(), r -> r.recruitment::headerOrBreadcrumbContains, "Recruitment"),
+        new Step("My Info", r -> r.myInfo.openTab(), r -> r.myInfo::headerOrBreadcrumbContains, "PIM"),
+        new Step("Performance", r -> r.performance.openTab(), r -> r.performance::headerOrBreadcrumbContains, "Performance/Manage Reviews"),
+        new Step("Dashboard", r -> r.dashboard.openTab(), r -> r.dashboard::headerOrBreadcrumbContains, "Dashboard"),
+        new Step("Directory", r -> r.directory.openTab(), r -> r.directory::headerOrBreadcrumbContains, "Directory"),
+        new Step("Claim", r -> r.claim.openTab(), r -> r.claim::headerOrBreadcrumbContains, "Claim"),
+        new Step("Buzz", r -> r.buzz.openTab(), r -> r.buzz::headerOrBreadcrumbContains, "Buzz")
+    );
+}
@@ -3,22 +3,23 @@ package com.automation.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import com.automation.support.CdpBridge;
+import com.automation.support.PageReadiness;
+
 public class BuzzPage {
     private final WebDriver driver;
+    private final PageReadiness readiness;
     private final By tab = By.xpath("//span[normalize-space()='Buzz']");
     private final By header = By.cssSelector("h6.oxd-text");
     private final By breadcrumb = By.cssSelector(".oxd-topbar-header-breadcrumb");
 
-    public BuzzPage(WebDriver driver) { this.driver = driver; }
+    public BuzzPage(WebDriver driver) { this.driver = driver; this.readiness = new PageReadiness(driver); }
 
-    public void openTab() { driver.findElement(tab).click(); }
+    public void openTab() { readiness.settleAfter(() -> driver.findElement(tab).click()); }
 
     public boolean headerOrBreadcrumbContains(String expectedToken) {
-        String h = safeGetText(header); String b = safeGetText(breadcrumb);
-        return (h != null && h.contains(expectedToken)) || (b != null && b.contains(expectedToken));
+        return CdpBridge.headerOrBreadcrumbContains(driver, header, breadcrumb, expectedToken);
     }
-
-    private String safeGetText(By locator) { try { return driver.findElement(locator).getText(); } catch(Exception e){ return null; } }
 }
 
 
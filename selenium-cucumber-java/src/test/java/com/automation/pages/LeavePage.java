@@ -9,12 +9,16 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
+import com.automation.support.CdpBridge;
+import com.automation.support.PageReadiness;
+
 public class LeavePage {
     private final WebDriver driver;
+    private final PageReadiness readiness;
     private final By header = By.cssSelector("h6.oxd-text");
     private final By breadcrumb = By.cssSelector(".oxd-topbar-header-breadcrumb");
 
-    public LeavePage(WebDriver driver) { this.driver = driver; }
+    public LeavePage(WebDriver driver) { this.driver = driver; this.readiness = new PageReadiness(driver); }
 
     public void openTab() {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
@@ -38,19 +42,19 @@ public class LeavePage {
         try {
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center'});", element);
         } catch (Exception ignored) { }
-        try {
-            wait.until(ExpectedConditions.elementToBeClickable(element)).click();
-        } catch (Exception e) {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
-        }
+        WebElement target = element;
+        readiness.settleAfter(() -> {
+            try {
+                wait.until(ExpectedConditions.elementToBeClickable(target)).click();
+            } catch (Exception e) {
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", target);
+            }
+        });
     }
 
     public boolean headerOrBreadcrumbContains(String expectedToken) {
-        String h = safeGetText(header); String b = safeGetText(breadcrumb);
-        return (h != null && h.contains(expectedToken)) || (b != null && b.contains(expectedToken));
+        return CdpBridge.headerOrBreadcrumbContains(driver, header, breadcrumb, expectedToken);
     }
-
-    private String safeGetText(By locator) { try { return driver.findElement(locator).getText(); } catch(Exception e){ return null; } }
 }
 
 
@@ -8,9 +8,12 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import com.automation.support.PageReadiness;
+
 public class LoginPage {
     private WebDriver driver;
     private WebDriverWait wait;
+    private PageReadiness readiness;
 
     // Updated locators for current OrangeHRM demo site
     private By usernameField = By.name("username");
@@ -20,7 +23,8 @@ public class LoginPage {
 
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10), PageReadiness.pollInterval());
+        this.readiness = new PageReadiness(driver);
     }
 
     public void enterUsername(String username) {
@@ -37,7 +41,7 @@ public class LoginPage {
 
     public void clickLoginButton() {
         WebElement loginElement = wait.until(ExpectedConditions.elementToBeClickable(loginButton));
-        loginElement.click();
+        readiness.settleAfter(loginElement::click);
     }
 
     public boolean isDashboardDisplayed() {
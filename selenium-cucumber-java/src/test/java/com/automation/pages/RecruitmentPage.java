@@ -9,13 +9,17 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
+import com.automation.support.CdpBridge;
+import com.automation.support.PageReadiness;
+
 public class RecruitmentPage {
     private final WebDriver driver;
+    private final PageReadiness readiness;
     private final By tab = By.xpath("//a[contains(@href,'viewRecruitmentModule')] | //span[normalize-space()='Recruitment']");
     private final By header = By.cssSelector("h6.oxd-text");
     private final By breadcrumb = By.cssSelector(".oxd-topbar-header-breadcrumb");
 
-    public RecruitmentPage(WebDriver driver) { this.driver = driver; }
+    public RecruitmentPage(WebDriver driver) { this.driver = driver; this.readiness = new PageReadiness(driver); }
 
     public void openTab() {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
@@ -23,19 +27,18 @@ public class RecruitmentPage {
         try {
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center'});", element);
         } catch (Exception ignored) { }
-        try {
-            wait.until(ExpectedConditions.elementToBeClickable(element)).click();
-        } catch (Exception e) {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
-        }
+        readiness.settleAfter(() -> {
+            try {
+                wait.until(ExpectedConditions.elementToBeClickable(element)).click();
+            } catch (Exception e) {
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+            }
+        });
     }
 
     public boolean headerOrBreadcrumbContains(String expectedToken) {
-        String h = safeGetText(header); String b = safeGetText(breadcrumb);
-        return (h != null && h.contains(expectedToken)) || (b != null && b.contains(expectedToken));
+        return CdpBridge.headerOrBreadcrumbContains(driver, header, breadcrumb, expectedToken);
     }
-
-    private String safeGetText(By locator) { try { return driver.findElement(locator).getText(); } catch(Exception e){ return null; } }
 }
 
 
@@ -0,0 +1,204 @@
+package com.automation.runner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.PickleTag;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+
+/**
+ * Persisted index of the tags used by each pickle in a feature file. Lets the runner evaluate
+ * the tag expression before Cucumber parses anything, so only matching feature files are handed
+ * to Cucumber. A file whose size and modification time match the index is not read at all; when
+ * they differ the content hash decides whether it has to be parsed again.
+ *
+ * Index format (target/feature-index.tsv by default, see -Dcucumber.index):
+ *   path TAB size TAB mtimeMillis TAB sha256 TAB pickleCount TAB tags of pickle 1 (comma separated);tags of pickle 2;...
+ * A file with parse errors is stored with pickleCount -1 and always selected, so Cucumber
+ * still reports the error.
+ */
+public class FeatureIndex {
+    private static final Logger log = Logger.getLogger(FeatureIndex.class);
+    private static final GherkinParser PARSER = GherkinParser.builder()
+        .includeSource(false)
+        .includeGherkinDocument(false)
+        .includePickles(true)
+        .build();
+
+    private final Path indexFile;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private boolean dirty;
+    private int parsed;
+
+    public FeatureIndex(Path indexFile) {
+        this.indexFile = indexFile;
+        load();
+    }
+
+    /**
+     * Returns the feature files under the given files or directories that contain at least one pickle
+     * matching the tag expression, and saves the index if anything had to be parsed.
+     */
+    public List<String> select(List<Path> roots, String tagExpression) throws IOException {
+        Expression expression = TagExpressionParser.parse(tagExpression);
+        List<String> selected = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int total = 0;
+        for (Path root : roots) {
+            List<Path> features;
+            try (Stream<Path> walk = Files.walk(root)) {
+                features = walk.filter(p -> p.toString().endsWith(".feature")).sorted().collect(Collectors.toList());
+            }
+            for (Path feature : features) {
+                total++;
+                seen.add(feature.toString());
+                Entry entry = lookup(feature);
+                if (entry.pickleCount < 0 || entry.pickleTags.stream().anyMatch(expression::evaluate)) {
+                    selected.add(feature.toString());
+                }
+            }
+        }
+        // Forget files that were deleted or moved; entries under roots not scanned this time stay
+        dirty |= entries.keySet().removeIf(key -> !seen.contains(key)
+            && (roots.stream().anyMatch(root -> Paths.get(key).startsWith(root)) || !Files.exists(Paths.get(key))));
+        save();
+        log.info("Feature index: " + selected.size() + " of " + total + " feature files match '" + tagExpression
+            + "' (" + parsed + " parsed, " + (total - parsed) + " from index)");
+        return selected;
+    }
+
+    private Entry lookup(Path feature) throws IOException {
+        String key = feature.toString();
+        BasicFileAttributes attributes = Files.readAttributes(feature, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        Entry cached = entries.get(key);
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            return cached;
+        }
+        byte[] content = Files.readAllBytes(feature);
+        String hash = sha256(content);
+        if (cached != null && cached.hash.equals(hash)) {
+            // Touched but unchanged, e.g. a fresh checkout
+            Entry touched = new Entry(size, modified, hash, cached.pickleCount, cached.pickleTags);
+            entries.put(key, touched);
+            dirty = true;
+            return touched;
+        }
+        Entry entry = parse(feature, content, size, modified, hash);
+        entries.put(key, entry);
+        dirty = true;
+        parsed++;
+        return entry;
+    }
+
+    private static Entry parse(Path feature, byte[] content, long size, long modified, String hash) {
+        List<Envelope> envelopes = PARSER.parse(feature.toString(), content).collect(Collectors.toList());
+        if (envelopes.stream().anyMatch(e -> e.getParseError().isPresent())) {
+            return new Entry(size, modified, hash, -1, Collections.emptyList());
+        }
+        List<List<String>> pickleTags = envelopes.stream()
+            .map(Envelope::getPickle)
+            .filter(Optional::isPresent)
+            .map(p -> p.get().getTags().stream().map(PickleTag::getName).collect(Collectors.toList()))
+            .collect(Collectors.toList());
+        return new Entry(size, modified, hash, pickleTags.size(), pickleTags);
+    }
+
+    private void load() {
+        if (!Files.exists(indexFile)) return;
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                String[] cols = line.split("\t", -1);
+                if (cols.length != 6) continue;
+                int count = Integer.parseInt(cols[4]);
+                List<List<String>> pickleTags = new ArrayList<>();
+                if (count > 0) {
+                    for (String tags : cols[5].split(";", -1)) {
+                        pickleTags.add(tags.isEmpty() ? Collections.emptyList() : Arrays.asList(tags.split(",")));
+                    }
+                }
+                entries.put(cols[0], new Entry(Long.parseLong(cols[1]), Long.parseLong(cols[2]), cols[3], count, pickleTags));
+            }
+        } catch (IOException | RuntimeException e) {
+            // A broken index is only a cache miss
+            log.warn("Ignoring unreadable feature index " + indexFile + ": " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private void save() {
+        if (!dirty) return;
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            String tags = entry.pickleTags.stream().map(t -> String.join(",", t)).collect(Collectors.joining(";"));
+            lines.add(e.getKey() + "\t" + entry.size + "\t" + entry.modified + "\t" + entry.hash + "\t" + entry.pickleCount + "\t" + tags);
+        }
+        try {
+            if (indexFile.getParent() != null) Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, lines, StandardCharsets.UTF_8);
+            dirty = false;
+        } catch (IOException e) {
+            log.warn("Could not write feature index " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Feature files parsed by this instance, as opposed to answered from the index. */
+    int parsed() {
+        return parsed;
+    }
+
+    static Path defaultLocation() {
+        return Paths.get(System.getProperty("cucumber.index", "target/feature-index.tsv"));
+    }
+
+    private static class Entry {
+        final long size;
+        final long modified;
+        final String hash;
+        final int pickleCount;
+        final List<List<String>> pickleTags;
+
+        Entry(long size, long modified, String hash, int pickleCount, List<List<String>> pickleTags) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+            this.pickleCount = pickleCount;
+            this.pickleTags = pickleTags;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.automation.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FeatureIndexTest {
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private Path indexFile;
+    private Path root;
+
+    @Before
+    public void setUp() throws IOException {
+        indexFile = tmp.getRoot().toPath().resolve("index.tsv");
+        root = tmp.newFolder("features").toPath();
+    }
+
+    @Test
+    public void selectsOnlyFilesWithAMatchingPickle() throws IOException {
+        Path login = feature(root, "login.feature", "@Login", "Login");
+        feature(root, "tabs.feature", "@Tabs", "Tabs");
+
+        assertEquals(Collections.singletonList(login.toString()), select("@Login"));
+        assertEquals(Collections.emptyList(), select("@Missing"));
+    }
+
+    @Test
+    public void pickleTagsIncludeFeatureTags() throws IOException {
+        Path file = write(root.resolve("admin.feature"), "@Admin\nFeature: Admin\n\n  @Smoke\n  Scenario: open\n    Given a step\n");
+
+        assertEquals(Collections.singletonList(file.toString()), select("@Admin and @Smoke"));
+        assertEquals(Collections.emptyList(), select("@Admin and not @Smoke"));
+    }
+
+    @Test
+    public void unparseableFileIsAlwaysSelected() throws IOException {
+        Path broken = write(root.resolve("broken.feature"), "Feature: Broken\n  Scenario: x\n    Given a step\n    not a step\n");
+
+        assertEquals(Collections.singletonList(broken.toString()), select("@Anything"));
+        assertEquals(Collections.singletonList(broken.toString()), select("@Anything"));
+    }
+
+    @Test
+    public void unchangedFilesAreAnsweredFromTheIndex() throws IOException {
+        feature(root, "login.feature", "@Login", "Login");
+        feature(root, "tabs.feature", "@Tabs", "Tabs");
+
+        FeatureIndex first = new FeatureIndex(indexFile);
+        first.select(Collections.singletonList(root), "@Login");
+        assertEquals(2, first.parsed());
+
+        FeatureIndex second = new FeatureIndex(indexFile);
+        second.select(Collections.singletonList(root), "@Tabs");
+        assertEquals(0, second.parsed());
+    }
+
+    @Test
+    public void changedFileIsParsedAgain() throws IOException {
+        Path file = feature(root, "login.feature", "@Login", "Login");
+        select("@Login");
+
+        // Same size, so only the modification time and the hash tell the change apart
+        feature(root, "login.feature", "@Logon", "Login");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5_000));
+
+        FeatureIndex index = new FeatureIndex(indexFile);
+        assertEquals(Collections.singletonList(file.toString()), index.select(Collections.singletonList(root), "@Logon"));
+        assertEquals(1, index.parsed());
+    }
+
+    @Test
+    public void touchedButUnchangedFileIsNotParsedAgain() throws IOException {
+        Path file = feature(root, "login.feature", "@Login", "Login");
+        select("@Login");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5_000));
+
+        FeatureIndex index = new FeatureIndex(indexFile);
+        assertEquals(Collections.singletonList(file.toString()), index.select(Collections.singletonList(root), "@Login"));
+        assertEquals(0, index.parsed());
+    }
+
+    @Test
+    public void narrowerRunKeepsEntriesOfOtherRoots() throws IOException {
+        Path other = tmp.newFolder("other").toPath();
+        feature(root, "login.feature", "@Login", "Login");
+        feature(other, "tabs.feature", "@Tabs", "Tabs");
+        new FeatureIndex(indexFile).select(Arrays.asList(root, other), "@Login");
+
+        new FeatureIndex(indexFile).select(Collections.singletonList(root), "@Login");
+
+        FeatureIndex full = new FeatureIndex(indexFile);
+        full.select(Arrays.asList(root, other), "@Tabs");
+        assertEquals(0, full.parsed());
+    }
+
+    @Test
+    public void deletedFileIsForgotten() throws IOException {
+        Path gone = feature(root, "gone.feature", "@Gone", "Gone");
+        feature(root, "kept.feature", "@Kept", "Kept");
+        select("@Kept");
+
+        Files.delete(gone);
+        select("@Kept");
+
+        String index = new String(Files.readAllBytes(indexFile), StandardCharsets.UTF_8);
+        assertFalse(index.contains("gone.feature"));
+        assertTrue(index.contains("kept.feature"));
+    }
+
+    private List<String> select(String tags) throws IOException {
+        return new FeatureIndex(indexFile).select(Collections.singletonList(root), tags);
+    }
+
+    private static Path feature(Path dir, String fileName, String tag, String name) throws IOException {
+        return write(dir.resolve(fileName), "Feature: " + name + "\n\n  " + tag + "\n  Scenario: " + name + "\n    Given a step\n");
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,161 @@
+package com.automation.runner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.InvalidOrderingException;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Orderable;
+import org.junit.runner.manipulation.Orderer;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+
+import io.cucumber.core.options.CucumberProperties;
+import io.cucumber.junit.Cucumber;
+import io.cucumber.junit.CucumberOptions;
+
+/**
+ * Cucumber JUnit runner that evaluates the tag filter against a FeatureIndex first and hands
+ * only the matching feature files to Cucumber (through cucumber.features), so startup does not
+ * grow with the number of unrelated features. Tags and feature paths are resolved from the same
+ * sources as Cucumber, in the same order: system properties over environment variables over
+ * the annotation over cucumber.properties. Falls back to plain Cucumber behaviour when no tag
+ * filter is configured, a feature path is not a file or directory on disk (classpath: URIs,
+ * line filters), or -Dcucumber.index.enabled=false.
+ *
+ * With -Dparallel.threads=N (N > 1) the Cucumber delegate runs its feature files on a pool of
+ * N threads; scenarios of one feature stay sequential. The pool is set directly on the delegate,
+ * so it works with any surefire provider and needs no parallel configuration there.
+ */
+public class IndexedCucumber extends Runner implements Filterable, Orderable {
+    private static final Logger log = Logger.getLogger(IndexedCucumber.class);
+    private static final String FEATURES_PROPERTY = "cucumber.features";
+    private static final String TAGS_PROPERTY = "cucumber.filter.tags";
+
+    private final Cucumber delegate;
+
+    public IndexedCucumber(Class<?> clazz) throws InitializationError {
+        List<String> selected = selectFeatures(clazz);
+        String previous = System.getProperty(FEATURES_PROPERTY);
+        if (!selected.isEmpty()) {
+            // Highest precedence source, and the selection is a subset of whatever was configured
+            System.setProperty(FEATURES_PROPERTY, String.join(",", selected));
+        }
+        try {
+            delegate = new Cucumber(clazz);
+        } finally {
+            if (!selected.isEmpty()) {
+                if (previous == null) System.clearProperty(FEATURES_PROPERTY);
+                else System.setProperty(FEATURES_PROPERTY, previous);
+            }
+        }
+        int threads = Integer.getInteger("parallel.threads", 1);
+        if (threads > 1) {
+            delegate.setScheduler(threadPool(threads));
+        }
+    }
+
+    /** Runs each feature on the pool and waits for all of them, like JUnit's ParallelComputer. */
+    private static RunnerScheduler threadPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+            r -> new Thread(r, "cucumber-feature-" + count.incrementAndGet()));
+        log.info("Running feature files on " + threads + " threads");
+        return new RunnerScheduler() {
+            @Override
+            public void schedule(Runnable childStatement) {
+                pool.execute(childStatement);
+            }
+
+            @Override
+            public void finished() {
+                pool.shutdown();
+                try {
+                    pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    pool.shutdownNow();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private static List<String> selectFeatures(Class<?> clazz) {
+        if (!Boolean.parseBoolean(System.getProperty("cucumber.index.enabled", "true"))) {
+            return Collections.emptyList();
+        }
+        CucumberOptions options = clazz.getAnnotation(CucumberOptions.class);
+        String tags = resolve(TAGS_PROPERTY, options == null ? "" : options.tags());
+        String features = resolve(FEATURES_PROPERTY, options == null ? "" : String.join(",", options.features()));
+        if (tags.trim().isEmpty() || features.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Path> roots = new ArrayList<>();
+        for (String feature : features.split(",")) {
+            if (feature.trim().isEmpty()) continue;
+            Path root = Paths.get(feature.trim());
+            if (!Files.exists(root)) {
+                return Collections.emptyList();
+            }
+            roots.add(root);
+        }
+        try {
+            return new FeatureIndex(FeatureIndex.defaultLocation()).select(roots, tags);
+        } catch (Exception e) {
+            log.warn("Feature index unavailable, letting Cucumber scan all features: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /** Value of a Cucumber property with Cucumber's precedence; the annotation counts only when set. */
+    private static String resolve(String key, String annotationValue) {
+        Map<String, String> system = CucumberProperties.fromSystemProperties();
+        if (system.get(key) != null) return system.get(key);
+        Map<String, String> environment = CucumberProperties.fromEnvironment();
+        if (environment.get(key) != null) return environment.get(key);
+        if (!annotationValue.isEmpty()) return annotationValue;
+        String fromFile = CucumberProperties.fromPropertiesFile().get(key);
+        return fromFile == null ? "" : fromFile;
+    }
+
+    @Override
+    public Description getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        delegate.run(notifier);
+    }
+
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        delegate.filter(filter);
+    }
+
+    @Override
+    public void sort(Sorter sorter) {
+        delegate.sort(sorter);
+    }
+
+    @Override
+    public void order(Orderer orderer) throws InvalidOrderingException {
+        delegate.order(orderer);
+    }
+}
@@ -0,0 +1,25 @@
+package com.automation.runner;
+
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.automation.load.JourneyLoad;
+import com.automation.load.LoadProfile;
+import com.automation.load.LoadReport;
+
+/**
+ * Entry point for load/soak runs of the tabs journey. Not picked up by the default test run;
+ * use the 'load' profile: mvn test -Pload -Dapp.url=http://localhost:8080/ -Dload.rate=0.5
+ */
+public class LoadRunner {
+    private static final Logger log = Logger.getLogger(LoadRunner.class);
+
+    @Test
+    public void replayTabsJourney() throws Exception {
+        LoadReport report = new JourneyLoad(LoadProfile.fromSystemProperties()).run();
+        report.write();
+        log.info("\n" + report.summary());
+        Assert.assertTrue("No journey completed; see the log for the failing step", report.completed() > 0);
+    }
+}
@@ -0,0 +1,214 @@
+package com.automation.runner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import com.automation.load.LatencyRecorder;
+import com.automation.support.ConcurrencyGovernor;
+import com.automation.support.DriverFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Live metrics for long runs, fed from the Cucumber event bus. Serves Prometheus text format
+ * on /metrics and a small auto-refreshing dashboard on / while the suite is running.
+ *
+ * Starts only when -Dmetrics.port is set (e.g. -Dmetrics.port=9464); otherwise it does nothing.
+ * Listens on the loopback interface only and stops when the test run finishes.
+ */
+public class MetricsPlugin implements ConcurrentEventListener {
+    private static final Logger log = Logger.getLogger(MetricsPlugin.class);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final int WINDOW = 1024;
+    private static final long THROUGHPUT_WINDOW_MS = 60_000;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, AtomicLong> scenariosByStatus = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> stepsByStatus = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+    private volatile long lastStepAt;
+    private HttpServer server;
+
+    // Sliding window of recent step durations in nanoseconds, guarded by window
+    private final long[] window = new long[WINDOW];
+    private int windowSize;
+    private int windowNext;
+    private double durationSum;
+    private long durationCount;
+
+    // Finish times of the steps in the last THROUGHPUT_WINDOW_MS, guarded by itself
+    private final Deque<Long> recentFinishes = new ArrayDeque<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        String port = System.getProperty("metrics.port");
+        if (port == null || port.trim().isEmpty()) return;
+        try {
+            start(Integer.parseInt(port.trim()));
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Metrics endpoint not started on port " + port + ": " + e.getMessage());
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseStarted.class, e -> inFlight.incrementAndGet());
+        publisher.registerHandlerFor(TestCaseFinished.class, e -> {
+            inFlight.decrementAndGet();
+            counter(scenariosByStatus, e.getResult().getStatus().name().toLowerCase()).incrementAndGet();
+        });
+        publisher.registerHandlerFor(TestStepFinished.class, e -> {
+            // Hooks are test steps too; only count Gherkin steps
+            if (!(e.getTestStep() instanceof PickleStepTestStep)) return;
+            stepFinished(e.getResult().getStatus().name().toLowerCase(), e.getResult().getDuration().toNanos(),
+                System.currentTimeMillis());
+        });
+        publisher.registerHandlerFor(TestRunFinished.class, e -> stop());
+    }
+
+    private void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> respond(exchange, "text/plain; version=0.0.4", render()));
+        server.createContext("/", exchange -> respond(exchange, "text/html", DASHBOARD));
+        server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-endpoint");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+        log.info("Metrics endpoint listening on http://localhost:" + port + "/metrics");
+    }
+
+    private void stop() {
+        server.stop(0);
+        log.info("Metrics endpoint stopped");
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static AtomicLong counter(Map<String, AtomicLong> counters, String status) {
+        return counters.computeIfAbsent(status, s -> new AtomicLong());
+    }
+
+    void stepFinished(String status, long nanos, long at) {
+        counter(stepsByStatus, status).incrementAndGet();
+        lastStepAt = at;
+        recordDuration(nanos);
+        recordFinish(at);
+    }
+
+    private void recordDuration(long nanos) {
+        synchronized (window) {
+            window[windowNext] = nanos;
+            windowNext = (windowNext + 1) % WINDOW;
+            windowSize = Math.min(windowSize + 1, WINDOW);
+            durationSum += nanos / 1e9;
+            durationCount++;
+        }
+    }
+
+    private void recordFinish(long at) {
+        synchronized (recentFinishes) {
+            recentFinishes.addLast(at);
+            pruneFinishes(at);
+        }
+    }
+
+    /** Drops finish times older than the throughput window; caller holds recentFinishes. */
+    private void pruneFinishes(long now) {
+        while (!recentFinishes.isEmpty() && now - recentFinishes.peekFirst() > THROUGHPUT_WINDOW_MS) {
+            recentFinishes.removeFirst();
+        }
+    }
+
+    String render() {
+        StringBuilder sb = new StringBuilder();
+        gauge(sb, "cucumber_scenarios_in_flight", "Scenarios currently running", inFlight.get());
+        labelled(sb, "cucumber_scenarios_total", "Finished scenarios by status", scenariosByStatus);
+        labelled(sb, "cucumber_steps_total", "Finished Gherkin steps by status", stepsByStatus);
+        gauge(sb, "cucumber_run_uptime_seconds", "Seconds since the run started", (System.currentTimeMillis() - startedAt) / 1000.0);
+        gauge(sb, "cucumber_last_step_timestamp_seconds", "Unix time of the last finished step, for stall detection",
+            lastStepAt / 1000.0);
+
+        long[] sorted;
+        double sum;
+        long count;
+        synchronized (window) {
+            sorted = Arrays.copyOf(window, windowSize);
+            sum = durationSum;
+            count = durationCount;
+        }
+        long recent;
+        synchronized (recentFinishes) {
+            pruneFinishes(System.currentTimeMillis());
+            recent = recentFinishes.size();
+        }
+        Arrays.sort(sorted);
+        gauge(sb, "cucumber_step_throughput_per_second", "Steps finished per second over the last minute",
+            recent * 1000.0 / THROUGHPUT_WINDOW_MS);
+        sb.append("# HELP cucumber_step_duration_seconds Step latency over the last ").append(WINDOW).append(" steps\n");
+        sb.append("# TYPE cucumber_step_duration_seconds summary\n");
+        for (double q : QUANTILES) {
+            double value = sorted.length == 0 ? Double.NaN : LatencyRecorder.percentile(sorted, q) / 1e9;
+            sb.append("cucumber_step_duration_seconds{quantile=\"").append(q).append("\"} ").append(value).append('\n');
+        }
+        sb.append("cucumber_step_duration_seconds_sum ").append(sum).append('\n');
+        sb.append("cucumber_step_duration_seconds_count ").append(count).append('\n');
+
+        Map<String, Number> governor = ConcurrencyGovernor.get().snapshot();
+        gauge(sb, "webdriver_active_drivers", "WebDriver sessions currently open", DriverFactory.activeDrivers());
+        for (Map.Entry<String, Number> e : governor.entrySet()) {
+            String name = "governor_" + e.getKey();
+            sb.append("# TYPE ").append(name).append(e.getKey().endsWith("_total") ? " counter\n" : " gauge\n");
+            sb.append(name).append(' ').append(e.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help, Number value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" gauge\n");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void labelled(StringBuilder sb, String name, String help, Map<String, AtomicLong> counters) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        for (Map.Entry<String, AtomicLong> e : counters.entrySet()) {
+            sb.append(name).append("{status=\"").append(e.getKey()).append("\"} ").append(e.getValue().get()).append('\n');
+        }
+    }
+
+    private static final String DASHBOARD = "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Cucumber run</title>"
+        + "<style>body{font-family:sans-serif;margin:2em}pre{background:#f4f4f4;padding:1em}</style></head><body>"
+        + "<h1>Cucumber run</h1><p>Refreshes every 2 seconds. Scrape <a href=\"/metrics\">/metrics</a> for Prometheus.</p>"
+        + "<pre id=\"m\">loading...</pre><script>"
+        + "function r(){fetch('/metrics').then(function(x){return x.text()}).then(function(t){"
+        + "document.getElementById('m').textContent=t.split('\\n').filter(function(l){return l&&l[0]!=='#'}).join('\\n')})}"
+        + "r();setInterval(r,2000);</script></body></html>";
+}
@@ -0,0 +1,92 @@
+package com.automation.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class MetricsPluginTest {
+    private static final Pattern COMMENT = Pattern.compile("# (HELP|TYPE) ([a-zA-Z_:][a-zA-Z0-9_:]*) (.+)");
+    private static final Pattern SAMPLE = Pattern.compile(
+        "([a-zA-Z_:][a-zA-Z0-9_:]*)(\\{[a-zA-Z_][a-zA-Z0-9_]*=\"[^\"]*\"(,[a-zA-Z_][a-zA-Z0-9_]*=\"[^\"]*\")*\\})? (\\S+)");
+    private static final Set<String> TYPES = Set.of("counter", "gauge", "summary", "histogram", "untyped");
+
+    @Test
+    public void emptyWindowRendersNaNQuantilesAndZeroCount() {
+        Map<String, String> samples = parse(new MetricsPlugin().render());
+
+        assertEquals("NaN", samples.get("cucumber_step_duration_seconds{quantile=\"0.5\"}"));
+        assertEquals("NaN", samples.get("cucumber_step_duration_seconds{quantile=\"0.99\"}"));
+        assertEquals("0", samples.get("cucumber_step_duration_seconds_count"));
+        assertEquals(0.0, value(samples, "cucumber_step_throughput_per_second"), 0.0);
+    }
+
+    @Test
+    public void quantilesUseTheLoadReportPercentiles() {
+        MetricsPlugin plugin = new MetricsPlugin();
+        long now = System.currentTimeMillis();
+        for (int ms = 1; ms <= 100; ms++) {
+            plugin.stepFinished(ms == 100 ? "failed" : "passed", ms * 1_000_000L, now);
+        }
+        Map<String, String> samples = parse(plugin.render());
+
+        // Nearest rank, as in LatencyRecorder: p50 of 1..100 ms is 50 ms and p99 is 99 ms
+        assertEquals(0.050, value(samples, "cucumber_step_duration_seconds{quantile=\"0.5\"}"), 1e-9);
+        assertEquals(0.099, value(samples, "cucumber_step_duration_seconds{quantile=\"0.99\"}"), 1e-9);
+        assertEquals(5.050, value(samples, "cucumber_step_duration_seconds_sum"), 1e-9);
+        assertEquals("100", samples.get("cucumber_step_duration_seconds_count"));
+        assertEquals("99", samples.get("cucumber_steps_total{status=\"passed\"}"));
+        assertEquals("1", samples.get("cucumber_steps_total{status=\"failed\"}"));
+        assertEquals(100 / 60.0, value(samples, "cucumber_step_throughput_per_second"), 1e-9);
+    }
+
+    @Test
+    public void throughputIgnoresStepsOlderThanOneMinute() {
+        MetricsPlugin plugin = new MetricsPlugin();
+        long now = System.currentTimeMillis();
+        plugin.stepFinished("passed", 1_000_000L, now - 120_000);
+        plugin.stepFinished("passed", 1_000_000L, now);
+
+        assertEquals(1 / 60.0, value(parse(plugin.render()), "cucumber_step_throughput_per_second"), 1e-9);
+    }
+
+    /**
+     * Parses Prometheus text format, failing on any line that is not a HELP/TYPE comment or a
+     * sample, or a sample whose family has no TYPE line before it.
+     */
+    private static Map<String, String> parse(String text) {
+        assertTrue("Exposition must end with a newline", text.endsWith("\n"));
+        Set<String> typed = new HashSet<>();
+        Map<String, String> samples = new LinkedHashMap<>();
+        for (String line : text.split("\n")) {
+            Matcher comment = COMMENT.matcher(line);
+            if (comment.matches()) {
+                if (comment.group(1).equals("TYPE")) {
+                    assertTrue("Unknown type: " + line, TYPES.contains(comment.group(3)));
+                    assertTrue("Duplicate TYPE: " + line, typed.add(comment.group(2)));
+                }
+                continue;
+            }
+            Matcher sample = SAMPLE.matcher(line);
+            assertTrue("Not a valid sample line: '" + line + "'", sample.matches());
+            String family = sample.group(1).replaceAll("_(sum|count)$", "");
+            assertTrue("Sample before its TYPE line: " + line, typed.contains(sample.group(1)) || typed.contains(family));
+            String number = sample.group(4);
+            if (!number.equals("NaN")) Double.parseDouble(number);
+            samples.put(sample.group(1) + (sample.group(2) == null ? "" : sample.group(2)), number);
+        }
+        return samples;
+    }
+
+    private static double value(Map<String, String> samples, String key) {
+        assertTrue("Missing sample " + key, samples.containsKey(key));
+        return Double.parseDouble(samples.get(key));
+    }
+}
@@ -2,15 +2,14 @@ package com.automation.runner;
 
 import org.junit.runner.RunWith;
 
-import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
 
-@RunWith(Cucumber.class)
+@RunWith(IndexedCucumber.class)
 @CucumberOptions(
     features = "src/test/resources/features",
     glue = {"com.automation.step"},
     tags = "@Tabs",
-    plugin = {"pretty", "html:target/cucumber-reports.html"}
+    plugin = {"pretty", "html:target/cucumber-reports.html", "com.automation.runner.MetricsPlugin"}
 )
 public class TestRunner {
 } 
\ No newline at end of file
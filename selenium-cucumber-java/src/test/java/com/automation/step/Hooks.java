@@ -5,6 +5,8 @@ import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import org.apache.log4j.Logger;
 
+import com.automation.support.ConcurrencyGovernor;
+
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +33,12 @@ public class Hooks {
     }
 
     private void closeStrayApplications() {
+        // Other scenarios running in parallel own the browsers that are still open; new ones
+        // wait in acquire() until the kill is done
+        ConcurrencyGovernor.get().runIfIdleExceptCurrentThread(this::killStrayApplications);
+    }
+
+    private void killStrayApplications() {
         // Windows-specific process names; add others if needed
         String os = System.getProperty("os.name").toLowerCase();
         if (os.contains("win")) {
@@ -10,19 +10,24 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 
+import com.automation.support.AppConfig;
+import com.automation.support.CdpBridge;
+import com.automation.support.ConcurrencyGovernor;
+import com.automation.support.DriverFactory;
+import com.automation.support.NetworkPolicy;
+import com.automation.support.PageReadiness;
 import com.automation.support.Ref;
 import com.automation.utils.ExcelReader;
 
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
-import io.github.bonigarcia.wdm.WebDriverManager;
 
 public class Steps {
     private static final Logger log = Logger.getLogger(Steps.class);
@@ -31,18 +36,19 @@ public class Steps {
     Ref ref;
     Map<String, String> testData;
     ExcelReader excelReader;
+    NetworkPolicy networkPolicy;
 
     // Ref holds all page objects
 
     @Before
     public void setup() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--remote-allow-origins=*");
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        driver = new ChromeDriver(options);
+        // Queue here rather than time out later when the host has no room for another browser
+        ConcurrencyGovernor.get().acquire();
+        driver = DriverFactory.chrome(false);
         driver.manage().window().maximize();
+        CdpBridge.attach(driver);
+        networkPolicy = NetworkPolicy.fromSystemProperties();
+        networkPolicy.applyTo(driver);
         ref = new Ref(driver);
 
         log.info("WebDriver initialized and page objects created");
@@ -51,7 +57,7 @@ public class Steps {
     @Given("user is on the OrangeHRM login page")
     public void user_is_on_the_orange_hrm_login_page() {
         System.out.println(">> Navigate: OrangeHRM login page");
-        driver.get("https://opensource-demo.orangehrmlive.com/");
+        driver.get(AppConfig.appUrl());
     }
 
     @When("user enters valid credentials")
@@ -138,7 +144,28 @@ public class Steps {
     }
 
     private void assertHeaderOrBreadcrumbContainsAllTokens(String expected) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        // CDP fast path: one Runtime.evaluate round trip, no element polling
+        String combined = CdpBridge.of(driver)
+            .map(CdpBridge::headerAndBreadcrumbText)
+            .filter(text -> containsAllTokens(text, expected))
+            .orElseGet(this::waitForHeaderOrBreadcrumbText);
+
+        for (String token : expected.split("/")) {
+            String trimmed = token.trim();
+            Assert.assertTrue("Expected token not found in header/breadcrumb: " + trimmed + " Actual: " + combined,
+                combined.contains(trimmed));
+        }
+    }
+
+    private boolean containsAllTokens(String text, String expected) {
+        for (String token : expected.split("/")) {
+            if (!text.contains(token.trim())) return false;
+        }
+        return true;
+    }
+
+    private String waitForHeaderOrBreadcrumbText() {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10), PageReadiness.pollInterval());
         // Wait for either header or breadcrumb to be visible
         try {
             wait.until(ExpectedConditions.or(
@@ -149,28 +176,36 @@ public class Steps {
 
         String headerText = safeGetText(By.cssSelector("h6.oxd-text"));
         String breadcrumbText = safeGetText(By.cssSelector(".oxd-topbar-header-breadcrumb"));
-        String combined = (headerText == null ? "" : headerText) + " " + (breadcrumbText == null ? "" : breadcrumbText);
-
-        for (String token : expected.split("/")) {
-            String trimmed = token.trim();
-            Assert.assertTrue("Expected token not found in header/breadcrumb: " + trimmed + " Actual: " + combined,
-                combined.contains(trimmed));
-        }
+        return (headerText == null ? "" : headerText) + " " + (breadcrumbText == null ? "" : breadcrumbText);
     }
 
     private String safeGetText(By locator) {
         try { return driver.findElement(locator).getText(); } catch (Exception e) { return null; }
     }
 
+    @AfterStep
+    public void recordStepBytes(Scenario scenario) {
+        if (networkPolicy == null) return;
+        long bytes = networkPolicy.recordStep(scenario.getName());
+        if (bytes >= 0) {
+            scenario.log("Bytes transferred: " + bytes);
+        }
+    }
+
     @After
     public void tearDown() {
+        if (networkPolicy != null) {
+            networkPolicy.close();
+        }
         if (driver != null) {
-            driver.quit();
+            CdpBridge.detach(driver);
+            DriverFactory.quit(driver);
             log.info("WebDriver closed");
         }
         if (excelReader != null) {
             try { excelReader.close(); } catch (IOException ignored) {}
         }
+        ConcurrencyGovernor.get().release();
     }
 
     private void ensureTestDataLoaded() {
@@ -0,0 +1,13 @@
+package com.automation.support;
+
+/**
+ * Application settings shared by the Cucumber steps and the load runner.
+ */
+public class AppConfig {
+    private static final String DEFAULT_URL = "https://opensource-demo.orangehrmlive.com/";
+
+    /** Base URL of the app under test; point -Dapp.url at a local stand-in for load runs. */
+    public static String appUrl() {
+        return System.getProperty("app.url", DEFAULT_URL);
+    }
+}
@@ -0,0 +1,261 @@
+package com.automation.support;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Optional Chrome DevTools Protocol fast path for the page objects. Waits for network idle
+ * from Network.* events, reads text through Runtime.evaluate and forwards browser console
+ * output to the log, all without polling the DOM through WebDriver.
+ *
+ * Enabled with -Dcdp.enabled=true. Commands and events are addressed by their raw CDP names
+ * so the bridge does not depend on a specific selenium-devtools-vNNN version. When the driver
+ * has no DevTools support, of(driver) is empty and callers use classic WebDriver instead.
+ */
+public class CdpBridge {
+    private static final Logger log = Logger.getLogger(CdpBridge.class);
+    private static final Map<WebDriver, CdpBridge> BRIDGES = new ConcurrentHashMap<>();
+
+    // Applied to an array of CSS selectors; missing elements map to null
+    private static final String TEXTS_OF_SELECTORS =
+        ".map(function (s) { var e = document.querySelector(s); return e ? e.innerText : null; })";
+    private static final String HEADER_AND_BREADCRUMB = "['h6.oxd-text', '.oxd-topbar-header-breadcrumb']"
+        + TEXTS_OF_SELECTORS + ".map(function (t) { return t || ''; }).join(' ')";
+    // A request open this long is a long-poll or lost its final event, and no longer blocks idle
+    private static final long STALE_REQUEST_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final DevTools devTools;
+    private final Map<String, Request> inflight = new HashMap<>();
+    private long lastActivity = System.nanoTime();
+
+    private CdpBridge(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /** Opens a DevTools session for the driver when -Dcdp.enabled=true and the browser supports it. */
+    public static Optional<CdpBridge> attach(WebDriver driver) {
+        if (!Boolean.parseBoolean(System.getProperty("cdp.enabled", "false"))) {
+            return Optional.empty();
+        }
+        CdpBridge existing = BRIDGES.get(driver);
+        if (existing != null) return Optional.of(existing);
+        return open(driver, true);
+    }
+
+    /**
+     * Opens a DevTools session for the driver regardless of cdp.enabled. Only a registered bridge
+     * is returned by of(driver) and switches the page objects to the fast path; an unregistered
+     * one (e.g. for NetworkPolicy) only enables the Network domain and stays private to its owner.
+     */
+    public static Optional<CdpBridge> open(WebDriver driver, boolean register) {
+        if (!(driver instanceof HasDevTools)) {
+            log.info("Driver has no DevTools support, using classic WebDriver");
+            return Optional.empty();
+        }
+        try {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            if (devTools.isEmpty()) {
+                log.info("DevTools not available for this browser, using classic WebDriver");
+                return Optional.empty();
+            }
+            devTools.get().createSessionIfThereIsNotOne();
+            CdpBridge bridge = new CdpBridge(devTools.get());
+            if (register) {
+                bridge.subscribe();
+                BRIDGES.put(driver, bridge);
+                log.info("CDP session attached");
+            } else {
+                bridge.send("Network.enable", Map.of());
+            }
+            return Optional.of(bridge);
+        } catch (Exception e) {
+            log.warn("Could not attach CDP session, using classic WebDriver: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<CdpBridge> of(WebDriver driver) {
+        return Optional.ofNullable(BRIDGES.get(driver));
+    }
+
+    public static void detach(WebDriver driver) {
+        CdpBridge bridge = BRIDGES.remove(driver);
+        if (bridge != null) {
+            try { bridge.devTools.close(); } catch (Exception ignored) { }
+        }
+    }
+
+    private void subscribe() {
+        send("Network.enable", Map.of());
+        send("Runtime.enable", Map.of());
+        send("Page.enable", Map.of());
+
+        on("Network.requestWillBeSent", this::requestStarted);
+        on("Network.loadingFinished", e -> requestEnded((String) e.get("requestId")));
+        on("Network.loadingFailed", e -> requestEnded((String) e.get("requestId")));
+        on("Page.frameNavigated", this::frameNavigated);
+        on("Runtime.consoleAPICalled", e -> log.info("Browser console [" + e.get("type") + "]: " + consoleText(e)));
+    }
+
+    /** Subscribes to a raw CDP event; the listener receives the event params. */
+    public void on(String method, Consumer<Map<String, Object>> listener) {
+        devTools.addListener(new Event<Map<String, Object>>(method, input -> input.read(Json.MAP_TYPE)), listener);
+    }
+
+    /** Sends a raw CDP command and returns its result object. */
+    public Map<String, Object> send(String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method, params, input -> input.read(Json.MAP_TYPE)));
+    }
+
+    /** Evaluates a JavaScript expression in the page and returns its value, or null when it failed. */
+    @SuppressWarnings("unchecked")
+    public Object evaluate(String expression) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("expression", expression);
+        params.put("returnByValue", true);
+        Map<String, Object> response;
+        try {
+            response = send("Runtime.evaluate", params);
+        } catch (Exception e) {
+            // e.g. the execution context was destroyed by a navigation
+            log.debug("Runtime.evaluate failed: " + e.getMessage());
+            return null;
+        }
+        if (response == null || response.containsKey("exceptionDetails")) return null;
+        Map<String, Object> result = (Map<String, Object>) response.get("result");
+        return result == null ? null : result.get("value");
+    }
+
+    /**
+     * True when the header or the breadcrumb contains the token. Both are read with one
+     * Runtime.evaluate when a bridge is attached and both locators are CSS selectors; otherwise,
+     * or when the page could not be evaluated, each is read through WebDriver. A missing element
+     * never matches.
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean headerOrBreadcrumbContains(WebDriver driver, By header, By breadcrumb, String token) {
+        CdpBridge bridge = BRIDGES.get(driver);
+        String headerCss = cssSelector(header);
+        String breadcrumbCss = cssSelector(breadcrumb);
+        if (bridge != null && headerCss != null && breadcrumbCss != null) {
+            Object texts = bridge.evaluate(new Json().toJson(List.of(headerCss, breadcrumbCss)) + TEXTS_OF_SELECTORS);
+            if (texts instanceof List) {
+                for (Object text : (List<Object>) texts) {
+                    if (text != null && text.toString().contains(token)) return true;
+                }
+                return false;
+            }
+        }
+        return textContains(driver, header, token) || textContains(driver, breadcrumb, token);
+    }
+
+    private static String cssSelector(By locator) {
+        if (!(locator instanceof By.Remotable)) return null;
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return "css selector".equals(parameters.using()) ? String.valueOf(parameters.value()) : null;
+    }
+
+    private static boolean textContains(WebDriver driver, By locator, String token) {
+        try {
+            return driver.findElement(locator).getText().contains(token);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /** Header and breadcrumb text joined by a space, or null when the page could not be evaluated. */
+    public String headerAndBreadcrumbText() {
+        Object text = evaluate(HEADER_AND_BREADCRUMB);
+        return text == null ? null : text.toString();
+    }
+
+    /**
+     * Blocks until no request has been in flight for the quiet window, counted from the later of
+     * the last network event and this call, so an action gets one quiet window to start its
+     * requests. Requests open for more than ten seconds (long-poll, EventSource, cancelled
+     * without an event) are dropped instead of holding every later wait. Returns false on timeout.
+     */
+    public synchronized boolean awaitNetworkIdle(Duration quiet, Duration timeout) {
+        long called = System.nanoTime();
+        long deadline = called + timeout.toNanos();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                inflight.values().removeIf(request -> now - request.startedAt > STALE_REQUEST_NANOS);
+                long quietSince = Math.max(lastActivity, called);
+                if (inflight.isEmpty() && now - quietSince >= quiet.toNanos()) {
+                    return true;
+                }
+                if (now >= deadline) return false;
+                long waitNanos = inflight.isEmpty() ? quiet.toNanos() - (now - quietSince) : deadline - now;
+                long waitMs = Math.max(1, Math.min(waitNanos, deadline - now) / 1_000_000);
+                wait(waitMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void requestStarted(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        if (requestId != null) inflight.put(requestId, new Request((String) event.get("loaderId"), System.nanoTime()));
+        touch();
+    }
+
+    private synchronized void requestEnded(String requestId) {
+        if (requestId != null) inflight.remove(requestId);
+        touch();
+    }
+
+    /** A new top-level document was committed; requests of the previous one will never report back. */
+    @SuppressWarnings("unchecked")
+    private synchronized void frameNavigated(Map<String, Object> event) {
+        Map<String, Object> frame = (Map<String, Object>) event.get("frame");
+        if (frame == null || frame.get("parentId") != null) return;
+        Object loaderId = frame.get("loaderId");
+        inflight.values().removeIf(request -> request.loaderId != null && !request.loaderId.equals(loaderId));
+        touch();
+    }
+
+    private void touch() {
+        lastActivity = System.nanoTime();
+        notifyAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String consoleText(Map<String, Object> event) {
+        Object args = event.get("args");
+        if (!(args instanceof List)) return "";
+        return ((List<Object>) args).stream()
+            .map(a -> (Map<String, Object>) a)
+            .map(a -> String.valueOf(a.containsKey("value") ? a.get("value") : a.get("description")))
+            .collect(Collectors.joining(" "));
+    }
+
+    private static class Request {
+        final String loaderId;
+        final long startedAt;
+
+        Request(String loaderId, long startedAt) {
+            this.loaderId = loaderId;
+            this.startedAt = startedAt;
+        }
+    }
+}
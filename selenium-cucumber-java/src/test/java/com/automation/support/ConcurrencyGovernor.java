@@ -0,0 +1,216 @@
+package com.automation.support;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Limits how many scenarios hold a browser at the same time. Samples system load, available
+ * memory and the resident memory of the browser processes spawned by this JVM, then grows the limit
+ * by one while the host is healthy and scenarios are queuing, and halves it when a limit is
+ * exceeded. Scenarios over the limit wait in acquire() instead of timing out.
+ *
+ * Tunable with system properties:
+ *   governor.enabled        (default true)  - false only counts active scenarios, never blocks
+ *   governor.minWorkers     (default 1)
+ *   governor.maxWorkers     (default number of CPUs)
+ *   governor.maxLoadPerCpu  (default 1.5)   - system load average divided by CPU count
+ *   governor.minFreeMemMb   (default 512)   - available memory to keep (MemAvailable on Linux)
+ *   governor.maxBrowserMemMb (default 0)    - total RSS of browser processes, 0 for no limit
+ *   governor.sampleMs       (default 2000)
+ */
+public class ConcurrencyGovernor {
+    private static final Logger log = Logger.getLogger(ConcurrencyGovernor.class);
+    private static final ConcurrencyGovernor INSTANCE = new ConcurrencyGovernor();
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("governor.enabled", "true"));
+    private final int cpus = Runtime.getRuntime().availableProcessors();
+    private final int minWorkers = Math.max(1, Integer.getInteger("governor.minWorkers", 1));
+    private final int maxWorkers = Math.max(minWorkers, Integer.getInteger("governor.maxWorkers", cpus));
+    private final double maxLoadPerCpu = Double.parseDouble(System.getProperty("governor.maxLoadPerCpu", "1.5"));
+    private final long minFreeMemMb = Long.getLong("governor.minFreeMemMb", 512);
+    private final long maxBrowserMemMb = Long.getLong("governor.maxBrowserMemMb", 0);
+    private final long sampleMs = Long.getLong("governor.sampleMs", 2000);
+
+    private final Set<Thread> holders = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService sampler;
+
+    // Guarded by this
+    private int limit = minWorkers;
+    private int waiting;
+    private boolean cleaning;
+    private long grown;
+    private long shrunk;
+    private double loadPerCpu = -1;
+    private long freeMemMb = -1;
+    private long browserMemMb = -1;
+
+    private ConcurrencyGovernor() { }
+
+    public static ConcurrencyGovernor get() {
+        return INSTANCE;
+    }
+
+    /** Blocks until the current limit allows one more active scenario on this thread. */
+    public synchronized void acquire() {
+        startSampler();
+        if (holders.contains(Thread.currentThread())) return;
+        waiting++;
+        try {
+            while (cleaning || (enabled && holders.size() >= limit)) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser slot", e);
+        } finally {
+            waiting--;
+        }
+        holders.add(Thread.currentThread());
+    }
+
+    public synchronized void release() {
+        if (holders.remove(Thread.currentThread())) {
+            notifyAll();
+        }
+    }
+
+    public int active() {
+        return holders.size();
+    }
+
+    /**
+     * Runs the action only when no thread other than the caller holds a slot, e.g. to kill stray
+     * browsers. Idleness is decided under the lock and acquire() waits until the action is done,
+     * so no scenario starts a browser in between; the action itself runs outside the lock.
+     * Returns false when the action was skipped.
+     */
+    public boolean runIfIdleExceptCurrentThread(Runnable action) {
+        synchronized (this) {
+            int others = holders.size() - (holders.contains(Thread.currentThread()) ? 1 : 0);
+            if (others > 0 || cleaning) return false;
+            cleaning = true;
+        }
+        try {
+            action.run();
+        } finally {
+            synchronized (this) {
+                cleaning = false;
+                notifyAll();
+            }
+        }
+        return true;
+    }
+
+    /** Current decisions and samples, for logging and the metrics endpoint. */
+    public synchronized Map<String, Number> snapshot() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("limit", limit);
+        metrics.put("active", holders.size());
+        metrics.put("waiting", waiting);
+        metrics.put("grown_total", grown);
+        metrics.put("shrunk_total", shrunk);
+        metrics.put("load_per_cpu", loadPerCpu);
+        metrics.put("free_memory_mb", freeMemMb);
+        metrics.put("browser_memory_mb", browserMemMb);
+        return metrics;
+    }
+
+    private synchronized void startSampler() {
+        if (sampler != null || !enabled) return;
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "concurrency-governor");
+            t.setDaemon(true);
+            return t;
+        });
+        sampler.scheduleWithFixedDelay(this::sample, sampleMs, sampleMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        try {
+            double load = systemLoadPerCpu();
+            long free = freePhysicalMemoryMb();
+            long browsers = browserResidentMemoryMb();
+            adjust(load, free, browsers);
+        } catch (RuntimeException e) {
+            log.warn("Governor sample failed: " + e.getMessage());
+        }
+    }
+
+    private synchronized void adjust(double load, long free, long browsers) {
+        loadPerCpu = load;
+        freeMemMb = free;
+        browserMemMb = browsers;
+
+        boolean overloaded = (load >= 0 && load > maxLoadPerCpu)
+            || (free >= 0 && free < minFreeMemMb)
+            || (maxBrowserMemMb > 0 && browsers > maxBrowserMemMb);
+        int previous = limit;
+        if (overloaded) {
+            limit = Math.max(minWorkers, limit / 2);
+        } else if (waiting > 0 && holders.size() >= limit) {
+            // Only grow when scenarios are actually queuing for a slot
+            limit = Math.min(maxWorkers, limit + 1);
+        }
+        if (limit != previous) {
+            if (limit > previous) grown++; else shrunk++;
+            log.info("Governor: limit " + previous + " -> " + limit + " (load/cpu " + String.format("%.2f", load)
+                + ", free " + free + " MB, browsers " + browsers + " MB, active " + holders.size() + ", waiting " + waiting + ")");
+            notifyAll();
+        }
+    }
+
+    private double systemLoadPerCpu() {
+        double load = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        return load < 0 ? -1 : load / cpus;
+    }
+
+    /**
+     * MemAvailable from /proc/meminfo: free memory plus page cache the kernel can reclaim. The
+     * MXBean's free physical memory leaves the cache out and reads near zero on a busy Linux host.
+     */
+    @SuppressWarnings("deprecation")
+    private static long freePhysicalMemoryMb() {
+        long availableKb = procFieldKb(Paths.get("/proc/meminfo"), "MemAvailable:");
+        if (availableKb >= 0) return availableKb / 1024;
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreePhysicalMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+
+    /** Sum of VmRSS for chrome/chromedriver processes started by this JVM; -1 where /proc is unavailable. */
+    private static long browserResidentMemoryMb() {
+        if (!Files.isDirectory(Paths.get("/proc/self"))) return -1;
+        long kb = ProcessHandle.current().descendants()
+            .filter(p -> p.info().command().map(c -> c.toLowerCase().contains("chrom")).orElse(false))
+            .mapToLong(p -> Math.max(0, procFieldKb(Paths.get("/proc", String.valueOf(p.pid()), "status"), "VmRSS:")))
+            .sum();
+        return kb / 1024;
+    }
+
+    /** Value in kB of a "Field:   123 kB" line of a /proc file; -1 when the file or field is missing. */
+    private static long procFieldKb(Path file, String field) {
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException ignored) { }
+        return -1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.automation.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Creates the Chrome sessions used by the steps and the load runner, and counts the ones that
+ * are still open. Sessions created here should be closed with quit(driver) to keep the count.
+ */
+public class DriverFactory {
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    public static WebDriver chrome(boolean headless) {
+        WebDriverManager.chromedriver().setup();
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--remote-allow-origins=*");
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        if (headless) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=1920,1080");
+        }
+        WebDriver driver = new ChromeDriver(options);
+        ACTIVE.incrementAndGet();
+        return driver;
+    }
+
+    public static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } finally {
+            ACTIVE.decrementAndGet();
+        }
+    }
+
+    /** Sessions created by chrome() and not yet quit. */
+    public static int activeDrivers() {
+        return ACTIVE.get();
+    }
+}
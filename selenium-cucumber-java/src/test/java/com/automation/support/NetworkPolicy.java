@@ -0,0 +1,225 @@
+package com.automation.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Per-scenario network policy applied through CDP: URL block list, download bandwidth cap,
+ * cap on concurrent requests, and bytes transferred per step with an optional budget.
+ *
+ * Configured from system properties (all optional, policy is skipped when none are set):
+ *   network.block          - comma separated URL patterns, '*' wildcard (e.g. *.png,*.woff2,*analytics*)
+ *   network.downloadKbps   - download bandwidth cap in kilobits per second
+ *   network.maxConcurrent  - maximum number of requests in flight at once
+ *   network.stepBudgetKb   - warn when a single step transfers more than this
+ *   network.record         - true to record bytes per step without any other limit
+ *   network.report         - CSV file for bytes per step (default target/network-bytes.csv)
+ */
+public class NetworkPolicy {
+    private static final Logger log = Logger.getLogger(NetworkPolicy.class);
+    // Scenarios running in parallel append to the same report
+    private static final Object REPORT_LOCK = new Object();
+
+    private final List<String> blockedPatterns = new ArrayList<>();
+    private long downloadKbps;
+    private int maxConcurrent;
+    private long stepBudgetKb;
+    private boolean record;
+    private final Path report = Paths.get(System.getProperty("network.report", "target/network-bytes.csv"));
+
+    private final AtomicLong bytes = new AtomicLong();
+    private long bytesAtLastStep;
+    private int stepIndex;
+
+    // Concurrency cap state, guarded by this
+    private final Set<String> running = new HashSet<>();
+    private final Deque<Map<String, Object>> queued = new ArrayDeque<>();
+    private ExecutorService releaser;
+    private CdpBridge cdp;
+
+    public static NetworkPolicy fromSystemProperties() {
+        NetworkPolicy policy = new NetworkPolicy();
+        String block = System.getProperty("network.block", "");
+        for (String pattern : block.split(",")) {
+            if (!pattern.trim().isEmpty()) policy.block(pattern.trim());
+        }
+        policy.downloadKbps = Long.getLong("network.downloadKbps", 0);
+        policy.maxConcurrent = Integer.getInteger("network.maxConcurrent", 0);
+        policy.stepBudgetKb = Long.getLong("network.stepBudgetKb", 0);
+        policy.record = Boolean.parseBoolean(System.getProperty("network.record", "false"));
+        return policy;
+    }
+
+    public NetworkPolicy block(String... patterns) {
+        blockedPatterns.addAll(Arrays.asList(patterns));
+        return this;
+    }
+
+    public NetworkPolicy downloadKbps(long kbps) {
+        this.downloadKbps = kbps;
+        return this;
+    }
+
+    public NetworkPolicy maxConcurrent(int requests) {
+        this.maxConcurrent = requests;
+        return this;
+    }
+
+    public NetworkPolicy stepBudgetKb(long kb) {
+        this.stepBudgetKb = kb;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return blockedPatterns.isEmpty() && downloadKbps <= 0 && maxConcurrent <= 0 && stepBudgetKb <= 0 && !record;
+    }
+
+    /** Applies the policy to the driver's browser. Does nothing when empty or when CDP is unavailable. */
+    public void applyTo(WebDriver driver) {
+        if (isEmpty()) return;
+        // Private session: the policy must not switch the page objects to the CDP fast path
+        cdp = CdpBridge.open(driver, false).orElse(null);
+        if (cdp == null) {
+            log.warn("Network policy requested but CDP is unavailable; running without it");
+            return;
+        }
+        if (!blockedPatterns.isEmpty()) {
+            cdp.send("Network.setBlockedURLs", Map.of("urls", blockedPatterns));
+        }
+        if (downloadKbps > 0) {
+            Map<String, Object> conditions = new HashMap<>();
+            conditions.put("offline", false);
+            conditions.put("latency", 0);
+            conditions.put("downloadThroughput", downloadKbps * 1024 / 8);
+            conditions.put("uploadThroughput", -1);
+            cdp.send("Network.emulateNetworkConditions", conditions);
+        }
+        cdp.on("Network.loadingFinished", e -> {
+            Object length = e.get("encodedDataLength");
+            if (length instanceof Number) bytes.addAndGet(((Number) length).longValue());
+            release((String) e.get("requestId"));
+        });
+        if (maxConcurrent > 0) {
+            // Continue commands go through a separate thread so the CDP listener thread never blocks on a reply
+            releaser = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "network-policy");
+                t.setDaemon(true);
+                return t;
+            });
+            cdp.on("Network.loadingFailed", e -> release((String) e.get("requestId")));
+            cdp.on("Page.frameNavigated", this::frameNavigated);
+            cdp.on("Fetch.requestPaused", this::admit);
+            cdp.send("Page.enable", Map.of());
+            cdp.send("Fetch.enable", Map.of("patterns", List.of(Map.of("urlPattern", "*", "requestStage", "Request"))));
+        }
+        log.info("Network policy applied: blocked=" + blockedPatterns + ", downloadKbps=" + downloadKbps
+            + ", maxConcurrent=" + maxConcurrent + ", stepBudgetKb=" + stepBudgetKb);
+    }
+
+    /**
+     * Returns the bytes transferred since the previous call and appends them to the CSV report.
+     * Returns -1 when the policy is not recording.
+     */
+    public long recordStep(String scenarioName) {
+        if (cdp == null) return -1;
+        long total = bytes.get();
+        long stepBytes = total - bytesAtLastStep;
+        bytesAtLastStep = total;
+        stepIndex++;
+        if (stepBudgetKb > 0 && stepBytes > stepBudgetKb * 1024) {
+            log.warn("Step " + stepIndex + " of '" + scenarioName + "' transferred " + stepBytes / 1024
+                + " KB, over the budget of " + stepBudgetKb + " KB");
+        }
+        appendReport(scenarioName, stepBytes);
+        return stepBytes;
+    }
+
+    public void close() {
+        if (releaser != null) releaser.shutdownNow();
+    }
+
+    private synchronized void admit(Map<String, Object> paused) {
+        String networkId = (String) paused.get("networkId");
+        if (networkId == null || running.contains(networkId) || running.size() < maxConcurrent) {
+            if (networkId != null) running.add(networkId);
+            continueRequest(paused);
+        } else {
+            queued.add(paused);
+        }
+    }
+
+    private synchronized void release(String requestId) {
+        if (requestId == null) return;
+        if (!running.remove(requestId)) {
+            // Cancelled while still queued (tab switch, navigation): it must never take a slot
+            queued.removeIf(paused -> requestId.equals(paused.get("networkId")));
+            return;
+        }
+        admitQueued();
+    }
+
+    /** A new top-level document: requests of the previous one will never report back. */
+    @SuppressWarnings("unchecked")
+    private synchronized void frameNavigated(Map<String, Object> event) {
+        Map<String, Object> frame = (Map<String, Object>) event.get("frame");
+        if (frame == null || frame.get("parentId") != null) return;
+        // Anything queued was paused before the commit, so it belongs to the old document too
+        running.clear();
+        queued.clear();
+    }
+
+    // Caller holds this
+    private void admitQueued() {
+        while (running.size() < maxConcurrent && !queued.isEmpty()) {
+            Map<String, Object> next = queued.poll();
+            running.add((String) next.get("networkId"));
+            continueRequest(next);
+        }
+    }
+
+    private void continueRequest(Map<String, Object> paused) {
+        String fetchId = (String) paused.get("requestId");
+        String networkId = (String) paused.get("networkId");
+        releaser.execute(() -> {
+            try {
+                cdp.send("Fetch.continueRequest", Map.of("requestId", fetchId));
+            } catch (Exception e) {
+                // The request is gone and no finished or failed event will free its slot
+                log.debug("Fetch.continueRequest failed: " + e.getMessage());
+                release(networkId);
+            }
+        });
+    }
+
+    private void appendReport(String scenarioName, long stepBytes) {
+        String line = "\"" + scenarioName.replace("\"", "\"\"") + "\"," + stepIndex + "," + stepBytes + "\n";
+        synchronized (REPORT_LOCK) {
+            try {
+                if (report.getParent() != null) Files.createDirectories(report.getParent());
+                if (!Files.exists(report)) line = "scenario,step,bytes\n" + line;
+                Files.write(report, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warn("Could not write network report: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.automation.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Waits for the application to settle after an action (no pending XHR/fetch, no DOM
+ * mutations for a quiet window) using an observer injected into the page. When a
+ * CdpBridge is attached to the driver, DevTools network idle is used instead.
+ *
+ * Tunable with system properties:
+ *   readiness.enabled    (default true)  - set to false to skip the wait entirely
+ *   readiness.quietMs    (default 250)   - how long the page must stay quiet
+ *   readiness.pollMs     (default 100)   - upper bound for the adaptive poll interval
+ *   readiness.graceMs    (default 1000)  - how long to wait for an action to start doing something
+ *   readiness.timeoutSec (default 10)    - give up after this long and let the caller's own checks run
+ */
+public class PageReadiness {
+    private static final Logger log = Logger.getLogger(PageReadiness.class);
+    private static final String OBSERVER = loadObserver("js/readiness.js");
+
+    private final WebDriver driver;
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("readiness.enabled", "true"));
+    private final long quietMs = Long.getLong("readiness.quietMs", 250);
+    private final long graceMs = Long.getLong("readiness.graceMs", 1000);
+    private final Duration timeout = Duration.ofSeconds(Long.getLong("readiness.timeoutSec", 10));
+
+    public PageReadiness(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /** Poll interval for the remaining WebDriverWait based checks. */
+    public static Duration pollInterval() {
+        return Duration.ofMillis(Long.getLong("readiness.pollMs", 100));
+    }
+
+    /**
+     * Runs the action and blocks until the page has settled. With a CdpBridge attached this is
+     * DevTools network idle, which needs no script round trips; otherwise the current document
+     * is marked and the injected observer is polled.
+     */
+    public void settleAfter(Runnable action) {
+        Optional<CdpBridge> cdp = enabled ? CdpBridge.of(driver) : Optional.empty();
+        if (cdp.isPresent()) {
+            action.run();
+            if (!cdp.get().awaitNetworkIdle(Duration.ofMillis(quietMs), timeout)) {
+                log.warn("Network did not go idle within " + timeout.getSeconds() + "s, continuing");
+            }
+            return;
+        }
+        mark();
+        action.run();
+        awaitSettled();
+    }
+
+    public void mark() {
+        if (!enabled) return;
+        try {
+            ((JavascriptExecutor) driver).executeScript(OBSERVER + "window.__readiness.mark();");
+        } catch (JavascriptException e) {
+            // Document unloading; the next one is observed from scratch anyway
+            log.debug("Could not mark document before action: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Blocks until the in-page observer reports a quiet window. Returns false on timeout;
+     * callers keep their own element checks, so a slow page never fails a step by itself.
+     * Only a document unloading mid-wait is retried; a lost session or crashed tab is rethrown.
+     */
+    public boolean awaitSettled() {
+        if (!enabled) return false;
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Duration previousTimeout = driver.manage().timeouts().getScriptTimeout();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                long remainingMs = Math.max(1, (deadline - System.nanoTime()) / 1_000_000);
+                driver.manage().timeouts().scriptTimeout(Duration.ofMillis(remainingMs));
+                try {
+                    Object settled = js.executeAsyncScript(OBSERVER
+                        + "window.__readiness.await(arguments[0], arguments[1], arguments[2], arguments[arguments.length - 1]);",
+                        quietMs, pollInterval().toMillis(), graceMs);
+                    return Boolean.TRUE.equals(settled);
+                } catch (ScriptTimeoutException e) {
+                    break;
+                } catch (JavascriptException e) {
+                    // The document was replaced while we waited (navigation); observe the new one
+                    sleepQuietly(pollInterval().toMillis());
+                }
+            }
+        } finally {
+            try { driver.manage().timeouts().scriptTimeout(previousTimeout); } catch (WebDriverException ignored) { }
+        }
+        log.warn("Page did not settle within " + timeout.getSeconds() + "s, continuing");
+        return false;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String loadObserver(String resourcePath) {
+        try (InputStream in = PageReadiness.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IllegalStateException("Cannot find readiness script: " + resourcePath);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load readiness script: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+// In-page readiness observer. Installed once per document by PageReadiness; tracks
+// pending XHR/fetch calls and DOM mutations so the test can wait for a quiet window
+// instead of polling for element visibility.
+(function () {
+    if (window.__readiness) return;
+
+    var state = { pending: 0, lastActivity: Date.now(), marked: false, markedAt: 0, active: false };
+
+    function touch() {
+        state.lastActivity = Date.now();
+        state.active = true;
+    }
+
+    function resourceCount() {
+        return window.performance && performance.getEntriesByType
+            ? performance.getEntriesByType('resource').length : 0;
+    }
+
+    var originalSend = XMLHttpRequest.prototype.send;
+    XMLHttpRequest.prototype.send = function () {
+        state.pending++;
+        touch();
+        this.addEventListener('loadend', function () { state.pending--; touch(); });
+        try {
+            return originalSend.apply(this, arguments);
+        } catch (e) {
+            state.pending--;
+            throw e;
+        }
+    };
+
+    if (window.fetch) {
+        var originalFetch = window.fetch;
+        window.fetch = function () {
+            state.pending++;
+            touch();
+            return originalFetch.apply(this, arguments).finally(function () { state.pending--; touch(); });
+        };
+    }
+
+    // Attribute changes are left out on purpose: spinners and hover styles would never go quiet
+    new MutationObserver(touch).observe(document, { subtree: true, childList: true, characterData: true });
+
+    // Called right before an action so that a document which has not reacted yet is not reported as settled
+    state.mark = function () {
+        state.marked = true;
+        state.markedAt = Date.now();
+        state.active = false;
+    };
+
+    // Resolves once the document is loaded, nothing is in flight and nothing changed for quietMs.
+    // The next check is scheduled for when the quiet window could end, capped at maxPollMs.
+    state.await = function (quietMs, maxPollMs, graceMs, done) {
+        var resources = resourceCount();
+        (function check() {
+            var now = Date.now();
+            var count = resourceCount();
+            if (count !== resources) {
+                resources = count;
+                touch();
+            }
+            if (state.marked && !state.active && now - state.markedAt < graceMs) {
+                return setTimeout(check, Math.max(1, Math.min(maxPollMs, graceMs - (now - state.markedAt))));
+            }
+            var idleFor = now - state.lastActivity;
+            if (document.readyState === 'complete' && state.pending <= 0 && idleFor >= quietMs) {
+                state.marked = false;
+                return done(true);
+            }
+            setTimeout(check, Math.max(1, Math.min(maxPollMs, quietMs - idleFor)));
+        })();
+    };
+
+    window.__readiness = state;
+})();